@@ -0,0 +1,57 @@
+import java.util.Arrays;
+
+/**
+ * Enregistre les latences (en nanosecondes) et les erreurs d'une route
+ * Les échantillons sont conservés intégralement pour des percentiles exacts
+ */
+public class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count = 0;
+    private int errors = 0;
+
+    /**
+     * Ajoute une mesure de latence
+     * @param nanos Latence en nanosecondes
+     * @param success false si la requête a échoué (statut >= 500, délai dépassé ou erreur réseau ;
+     *                les réponses 4xx sont des réponses métier et comptent comme des succès)
+     */
+    public synchronized void record(long nanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    /**
+     * Fige les mesures enregistrées et calcule les statistiques
+     * @param elapsedNanos Durée de la fenêtre de mesure, pour le débit
+     * @return Statistiques de la route
+     */
+    public synchronized Stats snapshot(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Stats(count, errors, count / (elapsedNanos / 1e9),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1]);
+    }
+
+    // Percentile par la méthode du rang le plus proche
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0)
+            return 0;
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Statistiques figées d'une route (latences en nanosecondes)
+     */
+    public record Stats(int count, int errors, double throughput, long p50, long p99, long p999, long max) {
+        public double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+}
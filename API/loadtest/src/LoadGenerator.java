@@ -0,0 +1,259 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur de charge pour l'API de tickets
+ * Rejoue les scénarios décrits dans un fichier .properties (bornes kiosque,
+ * guichets, écrans d'affichage) avec un utilisateur virtuel par thread virtuel,
+ * puis vérifie les SLO de latence et d'erreurs configurés
+ *
+ * Usage : java -cp bin LoadGenerator [scenarios.properties]
+ * Codes de sortie : 0 = SLO respectés, 1 = SLO en régression, 2 = erreur de configuration
+ */
+public class LoadGenerator {
+    private static final String[] OVERRIDABLE_KEYS = { "base.url", "duration.seconds", "warmup.seconds", "seed", "timeout.ms" };
+
+    private final URI baseUri;
+    private final long durationNanos;
+    private final long warmupNanos;
+    private final long seed;
+    private final Duration timeout;
+    private final List<Scenario> scenarios;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final HttpClient client;
+
+    public LoadGenerator(Properties config) {
+        this.baseUri = URI.create(config.getProperty("base.url", "http://localhost:8008").trim());
+        this.durationNanos = Duration.ofSeconds(Long.parseLong(config.getProperty("duration.seconds", "30").trim())).toNanos();
+        this.warmupNanos = Duration.ofSeconds(Long.parseLong(config.getProperty("warmup.seconds", "5").trim())).toNanos();
+        this.seed = Long.parseLong(config.getProperty("seed", "42").trim());
+        this.timeout = Duration.ofMillis(Long.parseLong(config.getProperty("timeout.ms", "5000").trim()));
+        this.scenarios = Scenario.fromProperties(config);
+
+        if (warmupNanos >= durationNanos) {
+            throw new IllegalArgumentException("warmup.seconds doit être inférieur à duration.seconds");
+        }
+        requireLoopback(baseUri);
+
+        // Pas de proxy : le trafic ne doit jamais quitter la machine
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .proxy(HttpClient.Builder.NO_PROXY)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) {
+        try {
+            Properties config = loadConfig(args.length > 0 ? args[0] : "scenarios.properties");
+            LoadGenerator generator = new LoadGenerator(config);
+            generator.checkHealth();
+            generator.checkFreshState();
+
+            Map<String, LatencyRecorder.Stats> stats = generator.run();
+            printReport(stats);
+
+            List<String> violations = SloRule.fromProperties(config).stream()
+                    .flatMap(rule -> rule.check(stats).stream())
+                    .toList();
+            if (!violations.isEmpty()) {
+                System.out.println("❌ SLO en régression :");
+                violations.forEach(v -> System.out.println("   " + v));
+                System.exit(1);
+            }
+            System.out.println("✅ Tous les SLO sont respectés");
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Erreur de configuration : " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    // ===== CONFIGURATION =====
+
+    /**
+     * Charge le fichier de scénarios ; les clés générales peuvent être
+     * surchargées par des propriétés système (ex: -Dduration.seconds=60)
+     */
+    private static Properties loadConfig(String file) throws IOException {
+        Properties config = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(file))) {
+            config.load(in);
+        }
+        for (String key : OVERRIDABLE_KEYS) {
+            String value = System.getProperty(key);
+            if (value != null)
+                config.setProperty(key, value);
+        }
+        return config;
+    }
+
+    private static void requireLoopback(URI uri) {
+        try {
+            if (uri.getHost() == null || !InetAddress.getByName(uri.getHost()).isLoopbackAddress()) {
+                throw new IllegalArgumentException("base.url doit pointer vers localhost : " + uri);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Hôte inconnu : " + uri.getHost());
+        }
+    }
+
+    private void checkHealth() throws IOException {
+        try {
+            HttpResponse<Void> response = client.send(request("GET", "/health"), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IOException("/health a répondu " + response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Vérification de santé interrompue");
+        } catch (IOException e) {
+            throw new IOException("API injoignable sur " + baseUri + " (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * Vérifie que l'API vient d'être démarrée : l'API n'a pas de remise à zéro,
+     * et des tickets laissés par une campagne précédente faussent les latences
+     */
+    private void checkFreshState() throws IOException {
+        String size = fetch("/api/queue/size");
+        String called = fetch("/api/tickets/called");
+        String served = fetch("/api/tickets/served");
+        if (!"0".equals(size) || !"[]".equals(called) || !"[]".equals(served)) {
+            throw new IOException("l'API contient déjà des tickets (file : " + size
+                    + ") ; redémarrez App avant chaque campagne");
+        }
+    }
+
+    private String fetch(String path) throws IOException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(timeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.ofString()).body().trim();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Vérification de l'état initial interrompue");
+        }
+    }
+
+    // ===== EXECUTION =====
+
+    /**
+     * Lance tous les scénarios en parallèle jusqu'à la fin de la durée configurée
+     * @return Statistiques par route, hors période de chauffe
+     */
+    public Map<String, LatencyRecorder.Stats> run() {
+        long start = System.nanoTime();
+        long warmupEnd = start + warmupNanos;
+        long end = start + durationNanos;
+
+        System.out.printf("🚀 Charge sur %s pendant %d s (chauffe %d s, seed %d)%n",
+                baseUri, Duration.ofNanos(durationNanos).toSeconds(), Duration.ofNanos(warmupNanos).toSeconds(), seed);
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < scenarios.size(); s++) {
+                Scenario scenario = scenarios.get(s);
+                System.out.printf("   • %s : %d utilisateurs, rafales de %d toutes les %d ms%n",
+                        scenario.getName(), scenario.getUsers(), scenario.getBurst(), scenario.getPauseMillis());
+                for (int u = 0; u < scenario.getUsers(); u++) {
+                    SplittableRandom random = new SplittableRandom(seed + 31L * s + 1_000_003L * u);
+                    users.submit(() -> runUser(scenario, random, start, warmupEnd, end));
+                }
+            }
+        }
+
+        Map<String, LatencyRecorder.Stats> stats = new TreeMap<>();
+        recorders.forEach((route, recorder) -> stats.put(route, recorder.snapshot(end - warmupEnd)));
+        return stats;
+    }
+
+    /**
+     * Boucle d'un utilisateur virtuel : les itérations suivent un planning fixe,
+     * et la latence de la première requête est mesurée depuis l'instant prévu,
+     * afin qu'un serveur saturé ne ralentisse pas silencieusement la charge
+     */
+    private void runUser(Scenario scenario, SplittableRandom random, long start, long warmupEnd, long end) {
+        long pauseNanos = Duration.ofMillis(scenario.getPauseMillis()).toNanos();
+        // Décalage initial reproductible pour éviter que tous les utilisateurs partent ensemble
+        long intended = start + (pauseNanos > 0 ? random.nextLong(pauseNanos) : 0);
+
+        while (intended < end && !Thread.currentThread().isInterrupted()) {
+            // parkNanos peut rendre la main en avance : on attend jusqu'à l'instant prévu
+            long remaining;
+            while ((remaining = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+            long scheduled = intended;
+            burst:
+            for (int i = 0; i < scenario.getBurst(); i++) {
+                for (Scenario.Step step : scenario.getSteps()) {
+                    // Aucune requête n'est envoyée après la fin de la fenêtre de mesure
+                    if (System.nanoTime() >= end)
+                        break burst;
+                    boolean success = send(step);
+                    long done = System.nanoTime();
+                    if (scheduled >= warmupEnd) {
+                        recorders.computeIfAbsent(step.route(), r -> new LatencyRecorder()).record(done - scheduled, success);
+                    }
+                    scheduled = done;
+                }
+            }
+            intended += pauseNanos;
+        }
+    }
+
+    /**
+     * Envoie une requête ; les réponses 4xx sont des réponses métier attendues
+     * (ex: 404 "Aucun ticket en attente") et ne comptent pas comme erreurs
+     */
+    private boolean send(Scenario.Step step) {
+        try {
+            HttpResponse<Void> response = client.send(request(step.method(), step.path()), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 500;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private HttpRequest request(String method, String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(timeout)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    // ===== RAPPORT =====
+
+    private static void printReport(Map<String, LatencyRecorder.Stats> stats) {
+        System.out.println();
+        System.out.printf("%-28s %9s %8s %10s %9s %9s %9s %9s%n",
+                "Route", "Requêtes", "Erreurs", "Débit/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        stats.forEach((route, s) -> System.out.printf("%-28s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                route, s.count(), s.errors(), s.throughput(),
+                s.p50() / 1e6, s.p99() / 1e6, s.p999() / 1e6, s.max() / 1e6));
+        System.out.println();
+    }
+}
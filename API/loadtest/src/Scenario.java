@@ -0,0 +1,110 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Description d'un scénario de charge rejoué par {@link LoadGenerator}
+ * Chaque utilisateur virtuel exécute en boucle la séquence de requêtes,
+ * par rafales de {@code burst} itérations séparées d'une pause fixe
+ */
+public class Scenario {
+
+    /**
+     * Requête HTTP élémentaire d'un scénario (ex: "POST /api/tickets")
+     */
+    public record Step(String method, String path) {
+        public String route() {
+            return method + " " + path;
+        }
+    }
+
+    private final String name;
+    private final int users;
+    private final List<Step> steps;
+    private final int burst;
+    private final long pauseMillis;
+
+    public Scenario(String name, int users, List<Step> steps, int burst, long pauseMillis) {
+        if (users <= 0) {
+            throw new IllegalArgumentException("Scénario " + name + " : users doit être > 0");
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("Scénario " + name + " : aucune requête définie");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Scénario " + name + " : burst doit être > 0");
+        }
+        if (pauseMillis < 0) {
+            throw new IllegalArgumentException("Scénario " + name + " : pause.ms doit être >= 0");
+        }
+        this.name = name;
+        this.users = users;
+        this.steps = List.copyOf(steps);
+        this.burst = burst;
+        this.pauseMillis = pauseMillis;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getPauseMillis() {
+        return pauseMillis;
+    }
+
+    /**
+     * Lit les scénarios déclarés sous la forme {@code scenario.<nom>.<clé>}
+     * @param config Configuration chargée depuis le fichier .properties
+     * @return Liste des scénarios, dans l'ordre de la clé {@code scenarios}
+     * @throws IllegalArgumentException si un scénario est incomplet ou invalide
+     */
+    public static List<Scenario> fromProperties(Properties config) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : config.getProperty("scenarios", "").split(",")) {
+            name = name.trim();
+            if (name.isEmpty())
+                continue;
+            String prefix = "scenario." + name + ".";
+            String requests = config.getProperty(prefix + "requests");
+            if (requests == null) {
+                throw new IllegalArgumentException("Scénario " + name + " : clé " + prefix + "requests manquante");
+            }
+            scenarios.add(new Scenario(
+                name,
+                Integer.parseInt(config.getProperty(prefix + "users", "1").trim()),
+                parseSteps(name, requests),
+                Integer.parseInt(config.getProperty(prefix + "burst", "1").trim()),
+                Long.parseLong(config.getProperty(prefix + "pause.ms", "1000").trim())
+            ));
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("Aucun scénario déclaré (clé 'scenarios')");
+        }
+        return scenarios;
+    }
+
+    private static List<Step> parseSteps(String name, String requests) {
+        List<Step> steps = new ArrayList<>();
+        for (String request : requests.split(",")) {
+            String[] parts = request.trim().split("\\s+");
+            if (parts.length != 2 || !parts[1].startsWith("/")) {
+                throw new IllegalArgumentException("Scénario " + name + " : requête invalide '" + request.trim() + "'");
+            }
+            steps.add(new Step(parts[0].toUpperCase(), parts[1]));
+        }
+        return steps;
+    }
+}
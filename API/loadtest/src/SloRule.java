@@ -0,0 +1,80 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Objectif de niveau de service (SLO) vérifié en fin de campagne
+ * Format : {@code slo.<id>=<route|*> <p50|p99|p999|errors> <seuil>}
+ * Le seuil est en millisecondes pour les percentiles, en pourcentage pour errors
+ */
+public record SloRule(String id, String route, String metric, double threshold) {
+
+    /**
+     * Lit toutes les règles {@code slo.*} de la configuration
+     * @param config Configuration chargée depuis le fichier .properties
+     * @return Liste des règles, triées par identifiant
+     * @throws IllegalArgumentException si une règle est mal formée
+     */
+    public static List<SloRule> fromProperties(Properties config) {
+        List<SloRule> rules = new ArrayList<>();
+        for (String key : config.stringPropertyNames()) {
+            if (!key.startsWith("slo."))
+                continue;
+            String value = config.getProperty(key).trim();
+            String[] parts = value.split("\\s+");
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("SLO " + key + " mal formé : '" + value + "'");
+            }
+            String metric = parts[parts.length - 2];
+            if (!List.of("p50", "p99", "p999", "errors").contains(metric)) {
+                throw new IllegalArgumentException("SLO " + key + " : métrique inconnue '" + metric + "'");
+            }
+            String route = String.join(" ", List.of(parts).subList(0, parts.length - 2));
+            // Méthode normalisée comme dans Scenario, pour que "get /api/tickets" désigne bien la même route
+            if (!"*".equals(route)) {
+                String[] routeParts = route.split(" ", 2);
+                if (routeParts.length != 2 || !routeParts[1].startsWith("/")) {
+                    throw new IllegalArgumentException("SLO " + key + " : route invalide '" + route + "'");
+                }
+                route = routeParts[0].toUpperCase() + " " + routeParts[1];
+            }
+            double threshold = Double.parseDouble(parts[parts.length - 1]);
+            rules.add(new SloRule(key.substring(4), route, metric, threshold));
+        }
+        rules.sort((a, b) -> a.id().compareTo(b.id()));
+        return rules;
+    }
+
+    /**
+     * Vérifie la règle sur les routes concernées
+     * Une route explicite sans aucune mesure est une violation : faute de frappe,
+     * route absente des scénarios ou requêtes toutes tombées pendant la chauffe
+     * @param statsByRoute Statistiques par route ("METHODE /chemin")
+     * @return Messages de violation (vide si le SLO est respecté)
+     */
+    public List<String> check(Map<String, LatencyRecorder.Stats> statsByRoute) {
+        List<String> violations = new ArrayList<>();
+        if (!"*".equals(route) && !statsByRoute.containsKey(route)) {
+            violations.add(String.format("[%s] %s : aucune mesure pour cette route", id, route));
+            return violations;
+        }
+        for (Map.Entry<String, LatencyRecorder.Stats> entry : statsByRoute.entrySet()) {
+            if (!"*".equals(route) && !route.equals(entry.getKey()))
+                continue;
+            LatencyRecorder.Stats stats = entry.getValue();
+            double observed = switch (metric) {
+                case "p50" -> stats.p50() / 1e6;
+                case "p99" -> stats.p99() / 1e6;
+                case "p999" -> stats.p999() / 1e6;
+                default -> stats.errorRate() * 100;
+            };
+            if (observed > threshold) {
+                String unit = "errors".equals(metric) ? "%" : " ms";
+                violations.add(String.format("[%s] %s %s = %.2f%s > %.2f%s",
+                        id, entry.getKey(), metric, observed, unit, threshold, unit));
+            }
+        }
+        return violations;
+    }
+}
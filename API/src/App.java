@@ -87,10 +87,7 @@ public class App {
 
         try {
             byte[] content = java.nio.file.Files.readAllBytes(java.nio.file.Paths.get("swagger.yaml"));
-            exchange.getResponseHeaders().set("Content-Type", "application/yaml");
-            exchange.sendResponseHeaders(200, content.length);
-            exchange.getResponseBody().write(content);
-            exchange.close();
+            HttpUtils.sendBytes(exchange, 200, content, "application/yaml");
         } catch (IOException e) {
             HttpUtils.sendErrorResponse(exchange, 500, "Erreur lors de la lecture du fichier swagger.yaml");
         }
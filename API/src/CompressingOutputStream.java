@@ -0,0 +1,180 @@
+import com.sun.net.httpserver.HttpExchange;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Flux de réponse HTTP compressé, pour un encodage négocié avec le client
+ * Les premiers octets sont retenus jusqu'au seuil de compression :
+ * - si la réponse reste sous le seuil, elle part telle quelle avec un Content-Length
+ * - sinon les en-têtes sont envoyés (transfert par blocs) et le corps est compressé
+ *   au fil de l'eau, sans jamais être entièrement mis en mémoire
+ * Le corps effectivement envoyé peut être capturé pour être réutilisé
+ * Sans encodage accepté, l'appelant envoie le corps directement avec un Content-Length
+ */
+public class CompressingOutputStream extends OutputStream {
+    private final HttpExchange exchange;
+    private final int statusCode;
+    private final String encoding;
+    private final byte[] pending;
+    private final ByteArrayOutputStream captured;
+    private int pendingCount = 0;
+    private OutputStream out;
+    private boolean compressed = false;
+    private boolean closed = false;
+
+    /**
+     * @param exchange Échange HTTP dont les en-têtes (hors Content-Encoding) sont déjà positionnés
+     * @param statusCode Code de statut HTTP de la réponse
+     * @param encoding "gzip" ou "deflate"
+     * @param threshold Taille minimale (en octets) à partir de laquelle compresser
+     * @param capture true pour conserver une copie du corps envoyé (voir {@link #getCapturedBody()})
+     * @throws IllegalArgumentException si l'encodage n'est pas supporté
+     */
+    public CompressingOutputStream(HttpExchange exchange, int statusCode, String encoding, int threshold, boolean capture) {
+        if (!"gzip".equals(encoding) && !"deflate".equals(encoding)) {
+            throw new IllegalArgumentException("Encodage non supporté : " + encoding);
+        }
+        this.exchange = exchange;
+        this.statusCode = statusCode;
+        this.encoding = encoding;
+        this.pending = new byte[threshold];
+        this.captured = capture ? new ByteArrayOutputStream() : null;
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (out == null && pendingCount < pending.length) {
+            pending[pendingCount++] = (byte) b;
+            return;
+        }
+        start();
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (out == null && pendingCount + len <= pending.length) {
+            System.arraycopy(b, off, pending, pendingCount, len);
+            pendingCount += len;
+            return;
+        }
+        start();
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null)
+            out.flush();
+    }
+
+    /**
+     * Termine la réponse : envoi direct si le seuil n'a pas été atteint,
+     * sinon fin du flux compressé
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (out == null) {
+                exchange.sendResponseHeaders(statusCode, pendingCount);
+                exchange.getResponseBody().write(pending, 0, pendingCount);
+                if (captured != null)
+                    captured.write(pending, 0, pendingCount);
+            } else {
+                out.close();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Abandonne une réponse dont l'écriture a échoué, sans terminer le flux compressé
+     * Si les en-têtes ne sont pas encore partis, rien n'est envoyé et l'échange reste
+     * disponible pour une réponse d'erreur. Sinon l'échange n'est pas fermé proprement
+     * (ce qui enverrait le bloc final) : l'exception doit remonter hors du handler pour
+     * que le serveur coupe la connexion et que le client voie une réponse tronquée
+     */
+    public void abort() {
+        closed = true;
+        pendingCount = 0;
+    }
+
+    /**
+     * @return Encodage appliqué au corps ("gzip", "deflate") ou null s'il n'est pas compressé
+     */
+    public String getAppliedEncoding() {
+        return compressed ? encoding : null;
+    }
+
+    /**
+     * Le tampon est transmis tel quel, sans copie : il ne doit plus être modifié
+     * @return Corps tel qu'envoyé sur le réseau, ou null si la capture est désactivée
+     */
+    public ByteArrayOutputStream getCapturedBody() {
+        return captured;
+    }
+
+    // Seuil dépassé : envoi des en-têtes puis bascule vers l'écriture en continu
+    private void start() throws IOException {
+        if (out != null)
+            return;
+        if (closed) {
+            throw new IOException("Flux de réponse fermé");
+        }
+
+        exchange.getResponseHeaders().set("Content-Encoding", encoding);
+        compressed = true;
+        // Les en-têtes partent avant toute écriture (GZIPOutputStream écrit son en-tête dès sa création)
+        exchange.sendResponseHeaders(statusCode, 0);
+
+        OutputStream sink = exchange.getResponseBody();
+        if (captured != null)
+            sink = new TeeOutputStream(sink, captured);
+        sink = "gzip".equals(encoding) ? new GZIPOutputStream(sink, 8192) : new DeflaterOutputStream(sink);
+        out = new BufferedOutputStream(sink, 8192);
+        out.write(pending, 0, pendingCount);
+        pendingCount = 0;
+    }
+
+    // Duplique les octets écrits vers la réponse et vers la copie capturée
+    private static class TeeOutputStream extends OutputStream {
+        private final OutputStream primary;
+        private final OutputStream copy;
+
+        TeeOutputStream(OutputStream primary, OutputStream copy) {
+            this.primary = primary;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            primary.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            primary.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            primary.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            primary.close();
+        }
+    }
+}
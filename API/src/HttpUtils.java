@@ -1,8 +1,39 @@
 import com.sun.net.httpserver.HttpExchange;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class HttpUtils {
+    // Taille minimale (en octets) d'un corps de réponse pour qu'il soit compressé
+    public static final int COMPRESSION_MIN_SIZE = 1024;
+
+    // Corps de listes déjà envoyés, par route/format/encodage, réutilisés tant que les données n'ont pas changé
+    private static final Map<String, CachedBody> CACHED_BODIES = new ConcurrentHashMap<>();
+
+    private record CachedBody(long version, String contentEncoding, ByteArrayOutputStream body) {
+    }
+
+    // Formats de réponse négociables via l'en-tête Accept
+    public enum ResponseFormat {
+        JSON("application/json"),
+        MSGPACK("application/msgpack"),
+        BINARY("application/x-ticket-binary");
+
+        private final String contentType;
+
+        ResponseFormat(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
 
     // Gestion CORS
     public static boolean handleCors(HttpExchange exchange) throws IOException {
@@ -24,10 +55,23 @@ public class HttpUtils {
     // Méthodes de réponse
     public static void sendResponse(HttpExchange exchange, int statusCode, String response, String contentType)
             throws IOException {
+        sendBytes(exchange, statusCode, response.getBytes(StandardCharsets.UTF_8), contentType);
+    }
+
+    public static void sendBytes(HttpExchange exchange, int statusCode, byte[] body, String contentType)
+            throws IOException {
         exchange.getResponseHeaders().set("Content-Type", contentType);
-        exchange.sendResponseHeaders(statusCode, response.getBytes().length);
-        exchange.getResponseBody().write(response.getBytes());
-        exchange.close();
+        String encoding = negotiateEncoding(exchange);
+        if (encoding == null) {
+            exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+            exchange.sendResponseHeaders(statusCode, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+            return;
+        }
+        try (OutputStream out = new CompressingOutputStream(exchange, statusCode, encoding, COMPRESSION_MIN_SIZE, false)) {
+            out.write(body);
+        }
     }
 
     public static void sendJsonResponse(HttpExchange exchange, int statusCode, String jsonResponse)
@@ -35,21 +79,239 @@ public class HttpUtils {
         sendResponse(exchange, statusCode, jsonResponse, "application/json");
     }
 
+    /**
+     * Envoie un ticket dans le format demandé par le client (JSON par défaut)
+     */
+    public static void sendTicketResponse(HttpExchange exchange, int statusCode, Ticket ticket)
+            throws IOException {
+        ResponseFormat format = negotiateFormat(exchange);
+        exchange.getResponseHeaders().set("Vary", "Accept");
+        switch (format) {
+            case MSGPACK -> {
+                ByteArrayOutputStream body = new ByteArrayOutputStream(96);
+                TicketCodec.writeMsgPack(ticket, body);
+                sendBytes(exchange, statusCode, body.toByteArray(), format.getContentType());
+            }
+            case BINARY -> {
+                ByteArrayOutputStream body = new ByteArrayOutputStream(32);
+                TicketCodec.writeBinary(List.of(ticket), body);
+                sendBytes(exchange, statusCode, body.toByteArray(), format.getContentType());
+            }
+            default -> sendJsonResponse(exchange, statusCode, ticket.toJson());
+        }
+    }
+
+    /**
+     * Envoie une liste de tickets dans le format demandé par le client (JSON par défaut)
+     * Le corps est encodé et compressé au fil de l'eau ; lorsqu'un encodage est accepté,
+     * le corps envoyé est conservé et réutilisé tant que la version des données est inchangée
+     * @param cacheKey Identifiant de la liste (ex: "served")
+     * @param version Version des données, lue avant la récupération de la liste
+     * @param tickets Fournisseur de la liste, appelé uniquement si aucun corps n'est réutilisable
+     */
+    public static void sendTicketListResponse(HttpExchange exchange, int statusCode, String cacheKey, long version,
+            Supplier<List<Ticket>> tickets) throws IOException {
+        ResponseFormat format = negotiateFormat(exchange);
+        String encoding = negotiateEncoding(exchange);
+        exchange.getResponseHeaders().set("Vary", "Accept");
+        exchange.getResponseHeaders().set("Content-Type", format.getContentType());
+
+        // Sans compression, le corps est encodé une seule fois en mémoire pour garder un Content-Length exact
+        if (encoding == null) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+            writeTicketList(format, tickets.get(), body);
+            exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+            exchange.sendResponseHeaders(statusCode, body.size());
+            body.writeTo(exchange.getResponseBody());
+            exchange.close();
+            return;
+        }
+
+        String key = cacheKey + "|" + statusCode + "|" + format + "|" + encoding;
+        CachedBody cached = CACHED_BODIES.get(key);
+        if (cached != null && cached.version() == version) {
+            exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+            if (cached.contentEncoding() != null)
+                exchange.getResponseHeaders().set("Content-Encoding", cached.contentEncoding());
+            exchange.sendResponseHeaders(statusCode, cached.body().size());
+            cached.body().writeTo(exchange.getResponseBody());
+            exchange.close();
+            return;
+        }
+
+        CompressingOutputStream out = new CompressingOutputStream(exchange, statusCode, encoding,
+                COMPRESSION_MIN_SIZE, true);
+        try {
+            writeTicketList(format, tickets.get(), out);
+        } catch (IOException | RuntimeException e) {
+            out.abort();
+            throw e;
+        }
+        out.close();
+        CACHED_BODIES.put(key, new CachedBody(version, out.getAppliedEncoding(), out.getCapturedBody()));
+    }
+
+    /**
+     * Envoie un entier : texte brut par défaut, ou MessagePack / binaire si demandé
+     */
+    public static void sendIntResponse(HttpExchange exchange, int statusCode, int value) throws IOException {
+        ResponseFormat format = negotiateFormat(exchange);
+        exchange.getResponseHeaders().set("Vary", "Accept");
+        ByteArrayOutputStream body = new ByteArrayOutputStream(9);
+        switch (format) {
+            case MSGPACK -> TicketCodec.writeMsgPack(value, body);
+            case BINARY -> TicketCodec.writeBinary(value, body);
+            default -> {
+                sendResponse(exchange, statusCode, String.valueOf(value), "text/plain; charset=UTF-8");
+                return;
+            }
+        }
+        sendBytes(exchange, statusCode, body.toByteArray(), format.getContentType());
+    }
+
+    /**
+     * Envoie un booléen : texte brut par défaut, ou MessagePack / binaire si demandé
+     */
+    public static void sendBooleanResponse(HttpExchange exchange, int statusCode, boolean value) throws IOException {
+        ResponseFormat format = negotiateFormat(exchange);
+        exchange.getResponseHeaders().set("Vary", "Accept");
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1);
+        switch (format) {
+            case MSGPACK -> TicketCodec.writeMsgPack(value, body);
+            case BINARY -> TicketCodec.writeBinary(value, body);
+            default -> {
+                sendResponse(exchange, statusCode, String.valueOf(value), "text/plain; charset=UTF-8");
+                return;
+            }
+        }
+        sendBytes(exchange, statusCode, body.toByteArray(), format.getContentType());
+    }
+
     public static void sendErrorResponse(HttpExchange exchange, int statusCode, String errorMessage)
             throws IOException {
+        // En-têtes déjà envoyés : la réponse est abandonnée et le serveur coupera la connexion
+        if (exchange.getResponseCode() != -1) {
+            throw new IOException("Réponse interrompue après l'envoi des en-têtes : " + errorMessage);
+        }
         sendResponse(exchange, statusCode, errorMessage, "text/plain; charset=UTF-8");
     }
 
+    // Négociation de contenu
+
+    /**
+     * Choisit le format de réponse d'après l'en-tête Accept (valeurs q comprises)
+     * Sans en-tête, avec un joker ou un type non supporté, le JSON est retenu
+     * @return Format de plus haute préférence parmi ceux supportés
+     */
+    public static ResponseFormat negotiateFormat(HttpExchange exchange) {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        if (accept == null || accept.isEmpty())
+            return ResponseFormat.JSON;
+
+        ResponseFormat best = ResponseFormat.JSON;
+        double bestQuality = 0;
+        boolean bestIsWildcard = true;
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            String mediaType = parts[0].trim().toLowerCase();
+            ResponseFormat format = formatOf(mediaType);
+            if (format == null)
+                continue;
+            boolean wildcard = mediaType.endsWith("*");
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            // À qualité égale, un type explicite l'emporte sur un joker
+            if (quality > bestQuality || (quality > 0 && quality == bestQuality && bestIsWildcard && !wildcard)) {
+                best = format;
+                bestQuality = quality;
+                bestIsWildcard = wildcard;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Choisit l'encodage de compression d'après l'en-tête Accept-Encoding (valeurs q comprises)
+     * @return "gzip", "deflate", ou null si aucun des deux n'est accepté
+     */
+    public static String negotiateEncoding(HttpExchange exchange) {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding == null || acceptEncoding.isEmpty())
+            return null;
+
+        // Qualités explicites d'abord ; le joker ne s'applique qu'aux encodages non cités
+        double gzipQuality = -1;
+        double deflateQuality = -1;
+        double wildcardQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            switch (name) {
+                case "gzip" -> gzipQuality = quality;
+                case "deflate" -> deflateQuality = quality;
+                case "*" -> wildcardQuality = quality;
+                default -> {
+                }
+            }
+        }
+        if (gzipQuality < 0)
+            gzipQuality = Math.max(wildcardQuality, 0);
+        if (deflateQuality < 0)
+            deflateQuality = Math.max(wildcardQuality, 0);
+
+        // À qualité égale, gzip est préféré
+        if (gzipQuality > 0 && gzipQuality >= deflateQuality)
+            return "gzip";
+        if (deflateQuality > 0)
+            return "deflate";
+        return null;
+    }
+
+    private static ResponseFormat formatOf(String mediaType) {
+        return switch (mediaType) {
+            case "application/json", "application/*", "*/*" -> ResponseFormat.JSON;
+            case "application/msgpack", "application/x-msgpack", "application/vnd.msgpack" -> ResponseFormat.MSGPACK;
+            case "application/x-ticket-binary" -> ResponseFormat.BINARY;
+            default -> null;
+        };
+    }
+
     // Sérialisation
-    public static String serializeTicketList(List<Ticket> tickets) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        for (int i = 0; i < tickets.size(); i++) {
-            sb.append(tickets.get(i).toJson());
-            if (i < tickets.size() - 1)
-                sb.append(",");
-        }
-        sb.append("]");
-        return sb.toString();
+
+    private static void writeTicketList(ResponseFormat format, List<Ticket> tickets, OutputStream out)
+            throws IOException {
+        switch (format) {
+            case MSGPACK -> TicketCodec.writeMsgPack(tickets, out);
+            case BINARY -> TicketCodec.writeBinary(tickets, out);
+            default -> {
+                out.write('[');
+                for (int i = 0; i < tickets.size(); i++) {
+                    if (i > 0)
+                        out.write(',');
+                    out.write(tickets.get(i).toJson().getBytes(StandardCharsets.UTF_8));
+                }
+                out.write(']');
+            }
+        }
     }
 }
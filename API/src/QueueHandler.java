@@ -18,7 +18,7 @@ public class QueueHandler {
 
         try {
             Ticket ticket = ticketService.createTicket();
-            HttpUtils.sendJsonResponse(exchange, 201, ticket.toJson());
+            HttpUtils.sendTicketResponse(exchange, 201, ticket);
         } catch (Exception e) {
             HttpUtils.sendErrorResponse(exchange, 500, "Erreur interne: " + e.getMessage());
         }
@@ -34,7 +34,7 @@ public class QueueHandler {
 
         try {
             Ticket ticket = ticketService.dequeue();
-            HttpUtils.sendJsonResponse(exchange, 200, ticket.toJson());
+            HttpUtils.sendTicketResponse(exchange, 200, ticket);
         } catch (IllegalStateException e) {
             HttpUtils.sendErrorResponse(exchange, 400, e.getMessage());
         } catch (Exception e) {
@@ -52,7 +52,7 @@ public class QueueHandler {
 
         try {
             Ticket ticket = ticketService.peek();
-            HttpUtils.sendJsonResponse(exchange, 200, ticket.toJson());
+            HttpUtils.sendTicketResponse(exchange, 200, ticket);
         } catch (IllegalStateException e) {
             HttpUtils.sendErrorResponse(exchange, 400, e.getMessage());
         } catch (Exception e) {
@@ -70,7 +70,7 @@ public class QueueHandler {
 
         try {
             boolean empty = ticketService.isEmpty();
-            HttpUtils.sendResponse(exchange, 200, String.valueOf(empty), "text/plain; charset=UTF-8");
+            HttpUtils.sendBooleanResponse(exchange, 200, empty);
         } catch (Exception e) {
             HttpUtils.sendErrorResponse(exchange, 500, "Erreur interne: " + e.getMessage());
         }
@@ -86,7 +86,7 @@ public class QueueHandler {
 
         try {
             int size = ticketService.size();
-            HttpUtils.sendResponse(exchange, 200, String.valueOf(size), "text/plain; charset=UTF-8");
+            HttpUtils.sendIntResponse(exchange, 200, size);
         } catch (Exception e) {
             HttpUtils.sendErrorResponse(exchange, 500, "Erreur interne: " + e.getMessage());
         }
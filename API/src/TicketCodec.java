@@ -0,0 +1,239 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Encodeurs binaires des tickets, alternatives compactes au JSON
+ *
+ * Format binaire compact (application/x-ticket-binary, version 1) :
+ * - 1 octet  : version du format (1)
+ * - varint   : nombre de tickets
+ * - varint   : date de référence, en millisecondes epoch (0 si liste vide)
+ * - puis pour chaque ticket :
+ *   - zigzag varint : écart du numéro de ticket avec le précédent (le précédent vaut 0
+ *                     pour le premier ticket, qui porte donc son numéro complet)
+ *   - 1 octet       : bits 0-1 = statut (0 WAITING, 1 CALLED, 2 SERVED),
+ *                     bit 2 = calledDate présente, bit 3 = servedDate présente
+ *   - zigzag varint : écart en ms de creationDate avec la précédente (avec la référence pour le premier)
+ *   - zigzag varint : écart en ms de calledDate avec creationDate (si présente)
+ *   - zigzag varint : écart en ms de servedDate avec creationDate (si présente)
+ * Un ticket seul est encodé comme une liste d'un élément
+ *
+ * MessagePack (application/msgpack) : mêmes champs que le JSON, dates encodées
+ * avec l'extension standard Timestamp (type -1)
+ */
+public class TicketCodec {
+    public static final int BINARY_VERSION = 1;
+
+    private static final byte[] KEY_TICKET_NUMBER = "ticketNumber".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KEY_STATUS = "status".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KEY_CREATION_DATE = "creationDate".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KEY_CALLED_DATE = "calledDate".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KEY_SERVED_DATE = "servedDate".getBytes(StandardCharsets.UTF_8);
+    private static final byte[][] STATUS_NAMES = new byte[Ticket.TicketStatus.values().length][];
+
+    static {
+        for (Ticket.TicketStatus status : Ticket.TicketStatus.values()) {
+            STATUS_NAMES[status.ordinal()] = status.name().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private TicketCodec() {
+    }
+
+    // ===== FORMAT BINAIRE COMPACT =====
+
+    /**
+     * Écrit une liste de tickets au format binaire compact
+     * @param tickets Tickets à encoder
+     * @param out Flux de destination
+     */
+    public static void writeBinary(List<Ticket> tickets, OutputStream out) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        out.write(BINARY_VERSION);
+        writeVarint(out, tickets.size());
+        long previousCreation = tickets.isEmpty() ? 0 : toEpochMillis(tickets.get(0).getCreationDate(), zone);
+        writeVarint(out, previousCreation);
+
+        int previousNumber = 0;
+        for (Ticket ticket : tickets) {
+            LocalDateTime calledDate = ticket.getCalledDate();
+            LocalDateTime servedDate = ticket.getServedDate();
+            long creation = toEpochMillis(ticket.getCreationDate(), zone);
+
+            writeVarint(out, zigzag(ticket.getTicketNumber() - (long) previousNumber));
+            out.write(ticket.getStatus().ordinal()
+                    | (calledDate != null ? 0x04 : 0)
+                    | (servedDate != null ? 0x08 : 0));
+            writeVarint(out, zigzag(creation - previousCreation));
+            if (calledDate != null)
+                writeVarint(out, zigzag(toEpochMillis(calledDate, zone) - creation));
+            if (servedDate != null)
+                writeVarint(out, zigzag(toEpochMillis(servedDate, zone) - creation));
+
+            previousNumber = ticket.getTicketNumber();
+            previousCreation = creation;
+        }
+    }
+
+    /**
+     * Écrit un entier au format binaire compact (varint non signé)
+     */
+    public static void writeBinary(long value, OutputStream out) throws IOException {
+        writeVarint(out, value);
+    }
+
+    /**
+     * Écrit un booléen au format binaire compact (1 octet : 0 ou 1)
+     */
+    public static void writeBinary(boolean value, OutputStream out) throws IOException {
+        out.write(value ? 1 : 0);
+    }
+
+    // ===== MESSAGEPACK =====
+
+    /**
+     * Écrit une liste de tickets en MessagePack (tableau de maps)
+     * @param tickets Tickets à encoder
+     * @param out Flux de destination
+     */
+    public static void writeMsgPack(List<Ticket> tickets, OutputStream out) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        int size = tickets.size();
+        if (size < 16) {
+            out.write(0x90 | size);
+        } else if (size < 0x10000) {
+            out.write(0xdc);
+            writeShort(out, size);
+        } else {
+            out.write(0xdd);
+            writeInt(out, size);
+        }
+        for (Ticket ticket : tickets) {
+            writeMsgPackTicket(ticket, out, zone);
+        }
+    }
+
+    /**
+     * Écrit un ticket seul en MessagePack (map)
+     */
+    public static void writeMsgPack(Ticket ticket, OutputStream out) throws IOException {
+        writeMsgPackTicket(ticket, out, ZoneId.systemDefault());
+    }
+
+    /**
+     * Écrit un entier en MessagePack
+     */
+    public static void writeMsgPack(long value, OutputStream out) throws IOException {
+        if (value >= 0 && value < 128) {
+            out.write((int) value);
+        } else if (value >= -32 && value < 0) {
+            out.write((int) value & 0xff);
+        } else if (value > 0 && value <= 0xffff) {
+            out.write(value <= 0xff ? 0xcc : 0xcd);
+            if (value > 0xff)
+                out.write((int) (value >>> 8));
+            out.write((int) value);
+        } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            out.write(0xd2);
+            writeInt(out, (int) value);
+        } else {
+            out.write(0xd3);
+            writeLong(out, value);
+        }
+    }
+
+    /**
+     * Écrit un booléen en MessagePack
+     */
+    public static void writeMsgPack(boolean value, OutputStream out) throws IOException {
+        out.write(value ? 0xc3 : 0xc2);
+    }
+
+    private static void writeMsgPackTicket(Ticket ticket, OutputStream out, ZoneId zone) throws IOException {
+        out.write(0x85); // fixmap de 5 entrées
+        writeMsgPackString(out, KEY_TICKET_NUMBER);
+        writeMsgPack(ticket.getTicketNumber(), out);
+        writeMsgPackString(out, KEY_STATUS);
+        writeMsgPackString(out, STATUS_NAMES[ticket.getStatus().ordinal()]);
+        writeMsgPackString(out, KEY_CREATION_DATE);
+        writeMsgPackTimestamp(out, ticket.getCreationDate(), zone);
+        writeMsgPackString(out, KEY_CALLED_DATE);
+        writeMsgPackTimestamp(out, ticket.getCalledDate(), zone);
+        writeMsgPackString(out, KEY_SERVED_DATE);
+        writeMsgPackTimestamp(out, ticket.getServedDate(), zone);
+    }
+
+    // Chaînes courtes uniquement (noms de champs et de statuts)
+    private static void writeMsgPackString(OutputStream out, byte[] utf8) throws IOException {
+        out.write(0xa0 | utf8.length);
+        out.write(utf8);
+    }
+
+    // Extension Timestamp : format 32 bits si possible, sinon 64 ou 96 bits
+    private static void writeMsgPackTimestamp(OutputStream out, LocalDateTime date, ZoneId zone) throws IOException {
+        if (date == null) {
+            out.write(0xc0);
+            return;
+        }
+        Instant instant = date.atZone(zone).toInstant();
+        long seconds = instant.getEpochSecond();
+        int nanos = instant.getNano();
+        if ((seconds >>> 34) == 0) {
+            if (nanos == 0 && (seconds >>> 32) == 0) {
+                out.write(0xd6);
+                out.write(0xff);
+                writeInt(out, (int) seconds);
+            } else {
+                out.write(0xd7);
+                out.write(0xff);
+                writeLong(out, ((long) nanos << 34) | seconds);
+            }
+        } else {
+            out.write(0xc7);
+            out.write(12);
+            out.write(0xff);
+            writeInt(out, nanos);
+            writeLong(out, seconds);
+        }
+    }
+
+    // ===== PRIMITIVES =====
+
+    private static long toEpochMillis(LocalDateTime date, ZoneId zone) {
+        return date.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeShort(OutputStream out, int value) throws IOException {
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeLong(OutputStream out, long value) throws IOException {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+}
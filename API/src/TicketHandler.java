@@ -1,6 +1,5 @@
 import com.sun.net.httpserver.HttpExchange;
 import java.io.IOException;
-import java.util.List;
 
 public class TicketHandler {
     private final TicketService ticketService;
@@ -16,10 +15,10 @@ public class TicketHandler {
         try {
             if ("POST".equals(method)) {
                 Ticket ticket = ticketService.createTicket();
-                HttpUtils.sendJsonResponse(exchange, 201, ticket.toJson());
+                HttpUtils.sendTicketResponse(exchange, 201, ticket);
             } else if ("GET".equals(method)) {
-                List<Ticket> tickets = ticketService.getWaitingTickets();
-                HttpUtils.sendJsonResponse(exchange, 200, HttpUtils.serializeTicketList(tickets));
+                HttpUtils.sendTicketListResponse(exchange, 200, "waiting", ticketService.getWaitingVersion(),
+                        ticketService::getWaitingTickets);
             } else {
                 HttpUtils.sendErrorResponse(exchange, 405, "Method Not Allowed");
             }
@@ -40,7 +39,7 @@ public class TicketHandler {
             Ticket calledTicket = ticketService.callTicket();
 
             if (calledTicket != null) {
-                HttpUtils.sendJsonResponse(exchange, 200, calledTicket.toJson());
+                HttpUtils.sendTicketResponse(exchange, 200, calledTicket);
             } else {
                 HttpUtils.sendResponse(exchange, 404, "Aucun ticket en attente", "text/plain; charset=UTF-8");
             }
@@ -61,7 +60,7 @@ public class TicketHandler {
             Ticket servedTicket = ticketService.serveTicket();
 
             if (servedTicket != null) {
-                HttpUtils.sendJsonResponse(exchange, 200, servedTicket.toJson());
+                HttpUtils.sendTicketResponse(exchange, 200, servedTicket);
             } else {
                 HttpUtils.sendResponse(exchange, 404, "Aucun ticket appelé", "text/plain; charset=UTF-8");
             }
@@ -79,8 +78,8 @@ public class TicketHandler {
         }
 
         try {
-            List<Ticket> tickets = ticketService.getCalledTickets();
-            HttpUtils.sendJsonResponse(exchange, 200, HttpUtils.serializeTicketList(tickets));
+            HttpUtils.sendTicketListResponse(exchange, 200, "called", ticketService.getCalledVersion(),
+                    ticketService::getCalledTickets);
         } catch (Exception e) {
             HttpUtils.sendErrorResponse(exchange, 500, "Erreur interne: " + e.getMessage());
         }
@@ -95,8 +94,8 @@ public class TicketHandler {
         }
 
         try {
-            List<Ticket> tickets = ticketService.getServedTickets();
-            HttpUtils.sendJsonResponse(exchange, 200, HttpUtils.serializeTicketList(tickets));
+            HttpUtils.sendTicketListResponse(exchange, 200, "served", ticketService.getServedVersion(),
+                    ticketService::getServedTickets);
         } catch (Exception e) {
             HttpUtils.sendErrorResponse(exchange, 500, "Erreur interne: " + e.getMessage());
         }
@@ -1,6 +1,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service de gestion des tickets
@@ -11,6 +12,10 @@ public class TicketService {
     private final List<Ticket> calledTickets = new ArrayList<>();
     private final List<Ticket> servedTickets = new ArrayList<>();
     private final AtomicInteger ticketCounter = new AtomicInteger(0);
+    // Une version par liste, incrémentée à chaque modification de cette liste
+    private final AtomicLong waitingVersion = new AtomicLong(0);
+    private final AtomicLong calledVersion = new AtomicLong(0);
+    private final AtomicLong servedVersion = new AtomicLong(0);
 
     // ===== GESTION DES TICKETS =====
     
@@ -22,9 +27,35 @@ public class TicketService {
         int ticketNumber = ticketCounter.incrementAndGet();
         Ticket ticket = new Ticket(ticketNumber);
         waitingQueue.enqueue(ticket);
+        waitingVersion.incrementAndGet();
         return ticket;
     }
 
+    /**
+     * Retourne la version de la liste des tickets en attente
+     * Elle permet de réutiliser une réponse déjà construite tant que la liste n'a pas changé
+     * @return Numéro de version
+     */
+    public long getWaitingVersion() {
+        return waitingVersion.get();
+    }
+
+    /**
+     * Retourne la version de la liste des tickets appelés
+     * @return Numéro de version
+     */
+    public long getCalledVersion() {
+        return calledVersion.get();
+    }
+
+    /**
+     * Retourne la version de la liste des tickets servis
+     * @return Numéro de version
+     */
+    public long getServedVersion() {
+        return servedVersion.get();
+    }
+
     /**
      * Retourne la liste des tickets en attente
      * @return Liste des tickets en attente (copie défensive)
@@ -70,6 +101,8 @@ public class TicketService {
             Ticket ticket = waitingQueue.dequeue();
             ticket.setStatus(Ticket.TicketStatus.CALLED);
             calledTickets.add(ticket);
+            waitingVersion.incrementAndGet();
+            calledVersion.incrementAndGet();
             return ticket;
         }
         return null;
@@ -84,6 +117,8 @@ public class TicketService {
             Ticket ticket = calledTickets.remove(0); // Premier ticket appelé
             ticket.setStatus(Ticket.TicketStatus.SERVED);
             servedTickets.add(ticket);
+            calledVersion.incrementAndGet();
+            servedVersion.incrementAndGet();
             return ticket;
         }
         return null;
@@ -97,6 +132,7 @@ public class TicketService {
      */
     public void enqueue(Ticket ticket) {
         waitingQueue.enqueue(ticket);
+        waitingVersion.incrementAndGet();
     }
 
     /**
@@ -105,7 +141,9 @@ public class TicketService {
      * @throws IllegalStateException si la file est vide
      */
     public Ticket dequeue() {
-        return waitingQueue.dequeue();
+        Ticket ticket = waitingQueue.dequeue();
+        waitingVersion.incrementAndGet();
+        return ticket;
     }
 
     /**